@@ -138,11 +138,45 @@ final class AludraTestReflectionUtil {
         return false;
     }
 
+    public static Object getParent(Object runnerGroupOrLeaf) {
+        return ReflectionUtils.invokeGetter(runnerGroupOrLeaf, "getParent");
+    }
+
     public static String getParentName(Object runnerGroup) {
-        Object parent = ReflectionUtils.invokeGetter(runnerGroup, "getParent");
+        Object parent = getParent(runnerGroup);
         return parent == null ? getName(runnerGroup) : getName(parent);
     }
 
+    public static Method getTestMethod(Object runnerLeaf) {
+        try {
+            Object testInvoker = ReflectionUtils.invokeGetter(runnerLeaf, "getTestInvoker");
+            return (Method) testInvoker.getClass().getMethod("getMethod").invoke(testInvoker);
+        }
+        catch (Throwable t) {
+            return null;
+        }
+    }
+
+    public static boolean isDataDrivenMethodGroup(Object runnerGroup) {
+        // the data rows of a data-driven test method are several leafs of the same method within one group
+        Iterable<?> ls = (Iterable<?>) ReflectionUtils.invokeGetter(runnerGroup, "getChildren");
+        Method method = null;
+        int count = 0;
+        for (Object o : ls) {
+            if (o == null || !o.getClass().getName().equals(RunnerLeaf.class.getName())) {
+                return false;
+            }
+            Method leafMethod = getTestMethod(o);
+            if (leafMethod == null || (method != null && !method.equals(leafMethod))) {
+                return false;
+            }
+            method = leafMethod;
+            count++;
+        }
+
+        return count > 1;
+    }
+
     public static boolean isIgnored(Object runnerLeaf) {
         try {
             Method m = runnerLeaf.getClass().getMethod("getAttribute", String.class);
@@ -19,10 +19,12 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.aludratest.testcase.TestStatus;
 import org.apache.maven.surefire.report.CategorizedReportEntry;
+import org.apache.maven.surefire.report.ConsoleLogger;
 import org.apache.maven.surefire.report.PojoStackTraceWriter;
 import org.apache.maven.surefire.report.ReportEntry;
 import org.apache.maven.surefire.report.RunListener;
@@ -47,16 +49,37 @@ public class AludraTestReportListener implements InvocationHandler {
 
     private AtomicInteger testErrors = new AtomicInteger();
 
-    private Map<Object, TestStatus> testStates = new HashMap<Object, TestStatus>();
+    // leaf callbacks are invoked from parallel worker threads
+    private Map<Object, TestStatus> testStates = new ConcurrentHashMap<Object, TestStatus>();
 
-    private Map<Object, Long> testStartTimes = new HashMap<Object, Long>();
+    private Map<Object, Long> testStartTimes = new ConcurrentHashMap<Object, Long>();
 
-    private Map<Object, Throwable> testThrowables = new HashMap<Object, Throwable>();
+    private Map<Object, Throwable> testThrowables = new ConcurrentHashMap<Object, Throwable>();
+
+    private Map<Object, LeafAggregate> groupAggregates = new HashMap<Object, LeafAggregate>();
+
+    private Map<Object, Boolean> dataDrivenGroups = new ConcurrentHashMap<Object, Boolean>();
 
     private RunListener reporter;
 
+    private boolean aggregated;
+
     public AludraTestReportListener(RunListener reporter) {
+        this(reporter, false);
+    }
+
+    /**
+     * Creates a new report listener.
+     * 
+     * @param reporter
+     *            Surefire reporter to forward test events to.
+     * @param aggregated
+     *            If <code>true</code>, passed and skipped leafs of data-driven test methods are not reported one by one, but
+     *            as one aggregated entry per method. Failures and errors are still reported individually.
+     */
+    public AludraTestReportListener(RunListener reporter, boolean aggregated) {
         this.reporter = reporter;
+        this.aggregated = aggregated;
     }
 
     @Override
@@ -161,6 +184,11 @@ public class AludraTestReportListener implements InvocationHandler {
             return;
         }
 
+        // for aggregated leafs, only failures are reported, so testStarting is deferred until the leaf has finished
+        if (isAggregatedLeaf(runnerLeaf)) {
+            return;
+        }
+
         // TODO add group here as soon as AludraTest supports it (e.g. "Approved / In Work" etc.)
         ReportEntry entry = new CategorizedReportEntry(getSourceName(runnerLeaf), getTestName(runnerLeaf), null);
 
@@ -176,13 +204,14 @@ public class AludraTestReportListener implements InvocationHandler {
         String name = getTestName(runnerLeaf);
 
         StackTraceWriter stackTrace = null;
-        Throwable t = testThrowables.get(runnerLeaf);
+        Throwable t = testThrowables.remove(runnerLeaf);
         if (t != null) {
             stackTrace = new PojoStackTraceWriter(sourceName, name, t);
         }
 
         // get test state
-        TestStatus status = testStates.get(runnerLeaf);
+        TestStatus status = testStates.remove(runnerLeaf);
+        Long startTime = testStartTimes.remove(runnerLeaf);
         if (AludraTestReflectionUtil.isIgnored(runnerLeaf)) {
             status = TestStatus.IGNORED;
         }
@@ -190,8 +219,17 @@ public class AludraTestReportListener implements InvocationHandler {
             status = TestStatus.PASSED;
         }
 
+        Integer elapsed = null;
+        if (startTime != null) {
+            elapsed = Long.valueOf(System.currentTimeMillis() - startTime.longValue()).intValue();
+        }
+
+        boolean aggregatedLeaf = isAggregatedLeaf(runnerLeaf);
         if (status.isFailure()) {
-            entry = CategorizedReportEntry.withException(sourceName, name, stackTrace);
+            entry = new CategorizedReportEntry(sourceName, name, null, stackTrace, elapsed);
+            if (aggregatedLeaf) {
+                reporter.testStarting(entry);
+            }
             if (status == TestStatus.FAILED || status == TestStatus.FAILEDPERFORMANCE) {
                 testsFailed.incrementAndGet();
                 reporter.testFailed(entry);
@@ -202,11 +240,16 @@ public class AludraTestReportListener implements InvocationHandler {
             }
         }
         else {
-            Long startTime = testStartTimes.get(runnerLeaf);
-            Integer elapsed = null;
-            if (startTime != null) {
-                elapsed = Long.valueOf(System.currentTimeMillis() - startTime.longValue()).intValue();
+            if (status == TestStatus.IGNORED) {
+                testsSkipped.incrementAndGet();
             }
+
+            // passed and skipped leafs are reported as one entry per group when the group has finished
+            if (aggregatedLeaf) {
+                getAggregate(runnerLeaf, sourceName).add(status == TestStatus.IGNORED, elapsed);
+                return;
+            }
+
             entry = new CategorizedReportEntry(sourceName, sourceName, name, null, elapsed);
             if (status == TestStatus.IGNORED) {
                 reporter.testSkipped(entry);
@@ -218,6 +261,11 @@ public class AludraTestReportListener implements InvocationHandler {
     }
 
     private void handleFinishedRunnerGroup(Object runnerGroup) {
+        if (aggregated) {
+            reportAggregate(runnerGroup);
+            dataDrivenGroups.remove(runnerGroup);
+        }
+
         if (AludraTestReflectionUtil.groupContainsLeafs(runnerGroup)) {
             ReportEntry entry = new SimpleReportEntry(AludraTestReflectionUtil.getParentName(runnerGroup),
                     AludraTestReflectionUtil.getName(runnerGroup));
@@ -225,6 +273,66 @@ public class AludraTestReportListener implements InvocationHandler {
         }
     }
 
+    private boolean isAggregatedLeaf(Object runnerLeaf) {
+        if (!aggregated) {
+            return false;
+        }
+
+        // only the data rows of data-driven test methods are aggregated; plain test methods are still reported one by one
+        Object runnerGroup = AludraTestReflectionUtil.getParent(runnerLeaf);
+        Boolean dataDriven = dataDrivenGroups.get(runnerGroup);
+        if (dataDriven == null) {
+            dataDriven = Boolean.valueOf(AludraTestReflectionUtil.isDataDrivenMethodGroup(runnerGroup));
+            dataDrivenGroups.put(runnerGroup, dataDriven);
+        }
+        return dataDriven.booleanValue();
+    }
+
+    private LeafAggregate getAggregate(Object runnerLeaf, String sourceName) {
+        Object runnerGroup = AludraTestReflectionUtil.getParent(runnerLeaf);
+        synchronized (groupAggregates) {
+            LeafAggregate aggregate = groupAggregates.get(runnerGroup);
+            if (aggregate == null) {
+                aggregate = new LeafAggregate(sourceName);
+                groupAggregates.put(runnerGroup, aggregate);
+            }
+            return aggregate;
+        }
+    }
+
+    private void reportAggregate(Object runnerGroup) {
+        LeafAggregate aggregate;
+        synchronized (groupAggregates) {
+            aggregate = groupAggregates.remove(runnerGroup);
+        }
+        if (aggregate == null) {
+            return;
+        }
+
+        String name = AludraTestReflectionUtil.getName(runnerGroup);
+        synchronized (aggregate) {
+            if (aggregate.passed.count > 0) {
+                ReportEntry entry = aggregate.passed.createReportEntry(aggregate.sourceName, name + " (passed)");
+                reporter.testStarting(entry);
+                logStatistics(entry);
+                reporter.testSucceeded(entry);
+            }
+            if (aggregate.skipped.count > 0) {
+                ReportEntry entry = aggregate.skipped.createReportEntry(aggregate.sourceName, name + " (skipped)");
+                logStatistics(entry);
+                reporter.testSkipped(entry);
+            }
+        }
+    }
+
+    private void logStatistics(ReportEntry entry) {
+        // Surefire does not render the message of succeeded entries, so also log it to the console.
+        // Unlike the provider's console logger, the reporter prints without line break.
+        if (reporter instanceof ConsoleLogger) {
+            ((ConsoleLogger) reporter).info(entry.getName() + ": " + entry.getMessage() + "\n");
+        }
+    }
+
     private void handleFinishedTestProcess(Object runnerTree) {
         // currently, nothing to do.
     }
@@ -240,4 +348,52 @@ public class AludraTestReportListener implements InvocationHandler {
         }
     }
 
+    private static class LeafAggregate {
+
+        private final String sourceName;
+
+        private final LeafStatistics passed = new LeafStatistics();
+
+        private final LeafStatistics skipped = new LeafStatistics();
+
+        private LeafAggregate(String sourceName) {
+            this.sourceName = sourceName;
+        }
+
+        private synchronized void add(boolean ignored, Integer elapsed) {
+            (ignored ? skipped : passed).add(elapsed);
+        }
+
+    }
+
+    private static class LeafStatistics {
+
+        private int count;
+
+        private long totalTime;
+
+        private long minTime = Long.MAX_VALUE;
+
+        private long maxTime;
+
+        private void add(Integer elapsed) {
+            count++;
+            if (elapsed != null) {
+                long time = elapsed.longValue();
+                totalTime += time;
+                minTime = Math.min(minTime, time);
+                maxTime = Math.max(maxTime, time);
+            }
+        }
+
+        private ReportEntry createReportEntry(String sourceName, String name) {
+            // keep the name stable across runs, statistics go into the message
+            String message = count + (count == 1 ? " test" : " tests") + ", total " + totalTime + " ms, min "
+                    + (minTime == Long.MAX_VALUE ? 0 : minTime) + " ms, max " + maxTime + " ms";
+            Integer elapsed = Integer.valueOf((int) Math.min(totalTime, Integer.MAX_VALUE));
+            return new CategorizedReportEntry(sourceName, name, null, null, elapsed, message);
+        }
+
+    }
+
 }
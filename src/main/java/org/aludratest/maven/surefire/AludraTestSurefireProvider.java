@@ -24,6 +24,7 @@ import org.aludratest.scheduler.RunnerListener;
 import org.apache.commons.collections.IteratorUtils;
 import org.apache.maven.surefire.providerapi.AbstractProvider;
 import org.apache.maven.surefire.providerapi.ProviderParameters;
+import org.apache.maven.surefire.report.ConsoleLogger;
 import org.apache.maven.surefire.report.ReporterException;
 import org.apache.maven.surefire.report.ReporterFactory;
 import org.apache.maven.surefire.report.RunListener;
@@ -53,6 +54,8 @@ public class AludraTestSurefireProvider extends AbstractProvider {
 
     private Properties providerProperties;
 
+    private ConsoleLogger consoleLogger;
+
     public AludraTestSurefireProvider(ProviderParameters providerParameters) {
         this.testClassLoader = providerParameters.getTestClassLoader();
         this.scanResult = providerParameters.getScanResult();
@@ -61,6 +64,25 @@ public class AludraTestSurefireProvider extends AbstractProvider {
         this.testRequest = providerParameters.getTestRequest();
         this.reporterFactory = providerParameters.getReporterFactory();
         this.providerProperties = providerParameters.getProviderProperties();
+        this.consoleLogger = providerParameters.getConsoleLogger();
+    }
+
+    private boolean isAggregatedReporting() {
+        String reporting = providerProperties == null ? null : providerProperties.getProperty("aludratest.reporting");
+        if (reporting == null) {
+            return false;
+        }
+        reporting = reporting.trim();
+        if ("".equals(reporting) || "detailed".equalsIgnoreCase(reporting)) {
+            return false;
+        }
+        if ("aggregated".equalsIgnoreCase(reporting)) {
+            return true;
+        }
+
+        consoleLogger.info("[WARNING] Unknown value for aludratest.reporting: \"" + reporting
+                + "\". Supported values are \"detailed\" and \"aggregated\". Falling back to detailed reporting.");
+        return false;
     }
 
     @SuppressWarnings("rawtypes")
@@ -92,7 +114,8 @@ public class AludraTestSurefireProvider extends AbstractProvider {
         }
 
         RunListener reporter = reporterFactory.createReporter();
-        AludraTestReportListener reportListener = new AludraTestReportListener(reporter);
+        boolean aggregated = isAggregatedReporting();
+        AludraTestReportListener reportListener = new AludraTestReportListener(reporter, aggregated);
 
         // check if there is a filter / category configuration
         if (providerProperties != null && providerProperties.getProperty("aludratest.filter") != null
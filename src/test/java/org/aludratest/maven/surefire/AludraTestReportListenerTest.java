@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2010-2014 Hamburg Sud and the contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aludratest.maven.surefire;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.aludratest.invoker.TestInvoker;
+import org.aludratest.scheduler.RunnerListener;
+import org.aludratest.scheduler.node.ExecutionMode;
+import org.aludratest.scheduler.node.RunnerGroup;
+import org.aludratest.scheduler.node.RunnerLeaf;
+import org.aludratest.scheduler.node.RunnerTree;
+import org.aludratest.scheduler.util.CommonRunnerLeafAttributes;
+import org.aludratest.testcase.TestStatus;
+import org.apache.maven.surefire.report.ConsoleLogger;
+import org.apache.maven.surefire.report.ReportEntry;
+import org.apache.maven.surefire.report.RunListener;
+import org.apache.maven.surefire.suite.RunResult;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class AludraTestReportListenerTest {
+
+    private static final Pattern STATISTICS = Pattern
+            .compile("(\\d+) tests?, total (\\d+) ms, min (\\d+) ms, max (\\d+) ms");
+
+    private static final long SLOW_ROW_MILLIS = 30;
+
+    private RunnerTree tree;
+
+    private List<RunnerGroup> groups = new ArrayList<RunnerGroup>();
+
+    private RunnerLeaf slowRow;
+
+    private RunnerLeaf ignoredRow;
+
+    private RunnerLeaf failedRow;
+
+    private RunnerLeaf errorRow;
+
+    /**
+     * Builds a tree with a data-driven method group (passed, skipped, failed and erroneous rows), a second data-driven method
+     * group and a plain test method next to them, plus a class which contains only plain test methods.
+     */
+    @Before
+    public void setUp() throws Exception {
+        tree = new RunnerTree();
+        tree.createRoot("root", false);
+
+        RunnerGroup sampleClass = createGroup(SampleTest.class.getName(), tree.getRoot());
+        RunnerGroup dataDriven1 = createGroup("dataDriven1", sampleClass);
+        TestInvoker invoker = createInvoker(SampleTest.class, "dataDriven1");
+        slowRow = tree.addLeaf(1, invoker, "dataDriven1-1", dataDriven1);
+        tree.addLeaf(2, invoker, "dataDriven1-2", dataDriven1);
+        ignoredRow = tree.addLeaf(3, invoker, "dataDriven1-3", dataDriven1);
+        ignoredRow.setAttribute(CommonRunnerLeafAttributes.IGNORE, Boolean.TRUE);
+        failedRow = tree.addLeaf(4, invoker, "dataDriven1-4", dataDriven1);
+        errorRow = tree.addLeaf(5, invoker, "dataDriven1-5", dataDriven1);
+
+        RunnerGroup dataDriven2 = createGroup("dataDriven2", sampleClass);
+        invoker = createInvoker(SampleTest.class, "dataDriven2");
+        tree.addLeaf(6, invoker, "dataDriven2-1", dataDriven2);
+        tree.addLeaf(7, invoker, "dataDriven2-2", dataDriven2);
+        tree.addLeaf(8, invoker, "dataDriven2-3", dataDriven2);
+
+        tree.addLeaf(9, createInvoker(SampleTest.class, "plainMethod"), "plainMethod", sampleClass);
+
+        RunnerGroup plainClass = createGroup(PlainTest.class.getName(), tree.getRoot());
+        tree.addLeaf(10, createInvoker(PlainTest.class, "plainA"), "plainA", plainClass);
+        tree.addLeaf(11, createInvoker(PlainTest.class, "plainB"), "plainB", plainClass);
+    }
+
+    @Test
+    public void testAggregatedReporting() throws Throwable {
+        RunListener reporter = mock(RunListener.class, withSettings().extraInterfaces(ConsoleLogger.class));
+        AludraTestReportListener listener = new AludraTestReportListener(reporter, true);
+        runTree(listener);
+
+        // failures are reported one by one, with their own elapsed time
+        ArgumentCaptor<ReportEntry> failures = ArgumentCaptor.forClass(ReportEntry.class);
+        verify(reporter).testFailed(failures.capture());
+        assertEquals("dataDriven1-4", failures.getValue().getName());
+        assertNotNull(failures.getValue().getElapsed());
+        ArgumentCaptor<ReportEntry> errors = ArgumentCaptor.forClass(ReportEntry.class);
+        verify(reporter).testError(errors.capture());
+        assertEquals("dataDriven1-5", errors.getValue().getName());
+        assertNotNull(errors.getValue().getElapsed());
+
+        // one aggregated entry per data-driven method, plain methods are still reported one by one
+        ArgumentCaptor<ReportEntry> succeeded = ArgumentCaptor.forClass(ReportEntry.class);
+        verify(reporter, times(5)).testSucceeded(succeeded.capture());
+        List<String> aggregatedNames = new ArrayList<String>();
+        for (ReportEntry entry : succeeded.getAllValues()) {
+            if (entry.getName().endsWith(" (passed)")) {
+                aggregatedNames.add(entry.getName());
+            }
+        }
+        assertEquals(2, aggregatedNames.size());
+        assertTrue(aggregatedNames.contains("dataDriven1 (passed)"));
+        assertTrue(aggregatedNames.contains("dataDriven2 (passed)"));
+
+        ArgumentCaptor<ReportEntry> skipped = ArgumentCaptor.forClass(ReportEntry.class);
+        verify(reporter).testSkipped(skipped.capture());
+        assertEquals("dataDriven1 (skipped)", skipped.getValue().getName());
+
+        // failures, aggregated passed entries and plain methods
+        verify(reporter, times(7)).testStarting(any(ReportEntry.class));
+
+        // statistics are logged to the console
+        ArgumentCaptor<String> output = ArgumentCaptor.forClass(String.class);
+        verify((ConsoleLogger) reporter, times(3)).info(output.capture());
+        List<String> lines = output.getAllValues();
+        assertTrue(lines.get(0).startsWith("dataDriven1 (passed): 2 tests, total "));
+        assertTrue(lines.get(1).startsWith("dataDriven1 (skipped): 1 test, total "));
+        assertTrue(lines.get(2).startsWith("dataDriven2 (passed): 3 tests, total "));
+
+        Matcher m = STATISTICS.matcher(lines.get(0));
+        assertTrue(m.find());
+        long total = Long.parseLong(m.group(2));
+        long min = Long.parseLong(m.group(3));
+        long max = Long.parseLong(m.group(4));
+        assertTrue(max >= SLOW_ROW_MILLIS);
+        assertTrue(min <= max);
+        assertEquals(min + max, total);
+    }
+
+    @Test
+    public void testDetailedReporting() throws Throwable {
+        RunListener reporter = mock(RunListener.class, withSettings().extraInterfaces(ConsoleLogger.class));
+        AludraTestReportListener listener = new AludraTestReportListener(reporter, false);
+        runTree(listener);
+
+        verify(reporter, times(10)).testStarting(any(ReportEntry.class));
+        verify(reporter, times(8)).testSucceeded(any(ReportEntry.class));
+        verify(reporter).testSkipped(any(ReportEntry.class));
+        verify(reporter).testFailed(any(ReportEntry.class));
+        verify(reporter).testError(any(ReportEntry.class));
+        verify((ConsoleLogger) reporter, never()).info(anyString());
+    }
+
+    @Test
+    public void testRunResultIndependentOfReportingMode() throws Throwable {
+        AludraTestReportListener detailed = new AludraTestReportListener(mock(RunListener.class), false);
+        runTree(detailed);
+        AludraTestReportListener aggregated = new AludraTestReportListener(mock(RunListener.class), true);
+        runTree(aggregated);
+
+        RunResult expected = new RunResult(11, 1, 1, 1);
+        assertRunResult(expected, detailed.createRunResult());
+        assertRunResult(expected, aggregated.createRunResult());
+    }
+
+    private void assertRunResult(RunResult expected, RunResult actual) {
+        assertEquals(expected.getCompletedCount(), actual.getCompletedCount());
+        assertEquals(expected.getErrors(), actual.getErrors());
+        assertEquals(expected.getFailures(), actual.getFailures());
+        assertEquals(expected.getSkipped(), actual.getSkipped());
+    }
+
+    private RunnerGroup createGroup(String name, RunnerGroup parent) {
+        RunnerGroup group = tree.createGroup(name, ExecutionMode.SEQUENTIAL, parent);
+        groups.add(group);
+        return group;
+    }
+
+    private static TestInvoker createInvoker(Class<?> testClass, String methodName) throws Exception {
+        TestInvoker invoker = mock(TestInvoker.class);
+        doReturn(testClass).when(invoker).getTestClass();
+        doReturn(testClass.getMethod(methodName)).when(invoker).getMethod();
+        return invoker;
+    }
+
+    private void runTree(AludraTestReportListener listener) throws Throwable {
+        fire(listener, "startingTestProcess", tree);
+        fire(listener, "startingTestGroup", tree.getRoot());
+        for (RunnerGroup group : groups) {
+            fire(listener, "startingTestGroup", group);
+            for (Object child : group.getChildren()) {
+                if (child instanceof RunnerLeaf) {
+                    runLeaf(listener, (RunnerLeaf) child);
+                }
+            }
+            fire(listener, "finishedTestGroup", group);
+        }
+        fire(listener, "finishedTestGroup", tree.getRoot());
+        fire(listener, "finishedTestProcess", tree);
+    }
+
+    private void runLeaf(AludraTestReportListener listener, RunnerLeaf leaf) throws Throwable {
+        fire(listener, "startingTestLeaf", leaf);
+        if (leaf == slowRow) {
+            Thread.sleep(SLOW_ROW_MILLIS);
+        }
+        if (leaf == failedRow) {
+            fire(listener, "newTestStep", leaf, new TestStep(TestStatus.FAILED, new AssertionError("failed")));
+        }
+        else if (leaf == errorRow) {
+            fire(listener, "newTestStep", leaf, new TestStep(TestStatus.FAILEDAUTOMATION, new RuntimeException("error")));
+        }
+        else {
+            fire(listener, "newTestStep", leaf, new TestStep(TestStatus.PASSED, null));
+        }
+        fire(listener, "finishedTestLeaf", leaf);
+    }
+
+    private static void fire(AludraTestReportListener listener, String methodName, Object... args) throws Throwable {
+        Method method = null;
+        for (Method m : RunnerListener.class.getMethods()) {
+            if (m.getName().equals(methodName)) {
+                method = m;
+            }
+        }
+        assertNotNull("RunnerListener method not found: " + methodName, method);
+        listener.invoke(null, method, args);
+    }
+
+    /** Minimal test step, accessed by the listener via reflection like the real TestStepInfo. */
+    public static class TestStep {
+
+        private TestStatus testStatus;
+
+        private Throwable error;
+
+        public TestStep(TestStatus testStatus, Throwable error) {
+            this.testStatus = testStatus;
+            this.error = error;
+        }
+
+        public TestStatus getTestStatus() {
+            return testStatus;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+    }
+
+    public static class SampleTest {
+
+        public void dataDriven1() {
+        }
+
+        public void dataDriven2() {
+        }
+
+        public void plainMethod() {
+        }
+
+    }
+
+    public static class PlainTest {
+
+        public void plainA() {
+        }
+
+        public void plainB() {
+        }
+
+    }
+
+}